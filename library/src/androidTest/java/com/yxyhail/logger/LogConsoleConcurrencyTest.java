@@ -0,0 +1,323 @@
+/*
+ * Copyright 2019 yxyhail
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yxyhail.logger;
+
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class LogConsoleConcurrencyTest {
+
+    private static final int READERS = 4;
+
+    private static final int RECORDS_PER_READER = 2000;
+
+    private static final long STALL_MILLIS = 1000;
+
+    private final List<String> lines = new ArrayList<>();
+
+    private final LogFormatter.Printer printer = new LogFormatter.Printer() {
+        @Override
+        public void println(int priority, String tag, String msg) {
+            record(priority, tag, msg);
+        }
+    };
+
+    @Test
+    public void reconfigureWhileLogging() throws Exception {
+        final LogConsoleImpl console = new LogConsoleImpl();
+        final LogFormatter base = LogFormatter.onBuilder()
+                .printer(printer)
+                .setGlobalTag("M1")
+                .build();
+        console.initFormatter(base);
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(READERS);
+        final AtomicLong maxReaderNanos = new AtomicLong();
+        final AtomicLong maxWriterNanos = new AtomicLong();
+
+        for (int r = 0; r < READERS; r++) {
+            final int id = r;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = 0; i < RECORDS_PER_READER; i++) {
+                            long begin = System.nanoTime();
+                            console.d("r%d-%d", id, i);
+                            updateMax(maxReaderNanos, System.nanoTime() - begin);
+                        }
+                    } catch (InterruptedException ignored) {
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+
+        Thread writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                int generation = 0;
+                while (done.getCount() > 0) {
+                    int methodCount = generation++ % 3;
+                    LogFormatter next = base.newBuilder()
+                            .setGlobalTag("M" + methodCount)
+                            .showMethodCount(methodCount)
+                            .build();
+                    long begin = System.nanoTime();
+                    console.initFormatter(next);
+                    updateMax(maxWriterNanos, System.nanoTime() - begin);
+                }
+            }
+        });
+        writer.start();
+        start.countDown();
+
+        assertTrue("readers stalled", done.await(60, TimeUnit.SECONDS));
+        writer.join();
+
+        assertTrue("reader blocked for " + maxReaderNanos.get() + "ns",
+                maxReaderNanos.get() < TimeUnit.MILLISECONDS.toNanos(STALL_MILLIS));
+        assertTrue("writer blocked for " + maxWriterNanos.get() + "ns",
+                maxWriterNanos.get() < TimeUnit.MILLISECONDS.toNanos(STALL_MILLIS));
+
+        Map<String, Integer> records = checkRecords();
+        assertEquals(READERS * RECORDS_PER_READER, records.size());
+        for (int r = 0; r < READERS; r++) {
+            for (int i = 0; i < RECORDS_PER_READER; i++) {
+                assertTrue("lost record r" + r + "-" + i, records.containsKey("r" + r + "-" + i));
+            }
+        }
+    }
+
+    /**
+     * 一个读线程停在输出中并持有锁时，更新配置和被过滤的日志都不能被阻塞
+     */
+    @Test
+    public void updateWhileReaderHoldsOutputLock() throws Exception {
+        final CountDownLatch parked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final LogConsoleImpl console = new LogConsoleImpl();
+        final LogFormatter base = LogFormatter.onBuilder()
+                .printer(new LogFormatter.Printer() {
+                    @Override
+                    public void println(int priority, String tag, String msg) {
+                        if (msg.endsWith(" park")) {
+                            parked.countDown();
+                            try {
+                                release.await();
+                            } catch (InterruptedException ignored) {
+                            }
+                        }
+                    }
+                })
+                .build();
+        console.initFormatter(base);
+
+        Thread reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                console.d("park");
+            }
+        });
+        reader.start();
+        assertTrue("reader never reached the printer", parked.await(10, TimeUnit.SECONDS));
+
+        Thread writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 100; i++) {
+                    console.initFormatter(base.newBuilder().showMethodCount(i % 3).build());
+                }
+                console.initFormatter(base.newBuilder().logLevel(Log.ERROR).build());
+                console.d("filtered");
+            }
+        });
+        writer.start();
+        writer.join(STALL_MILLIS);
+        boolean writerBlocked = writer.isAlive();
+
+        release.countDown();
+        reader.join();
+        writer.join();
+        assertFalse("initFormatter or a filtered record waited for the output lock", writerBlocked);
+    }
+
+    /**
+     * 运行中提高 logLevel：低优先级的日志被完整过滤，不会用新配置输出，也不会只输出一半
+     */
+    @Test
+    public void raiseLogLevelWhileLogging() throws Exception {
+        final LogConsoleImpl console = new LogConsoleImpl();
+        final LogFormatter verbose = LogFormatter.onBuilder()
+                .printer(printer)
+                .setGlobalTag("V1")
+                .build();
+        final LogFormatter error = verbose.newBuilder()
+                .setGlobalTag("E1")
+                .logLevel(Log.ERROR)
+                .build();
+        console.initFormatter(verbose);
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch raised = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(READERS);
+        final AtomicInteger progress = new AtomicInteger();
+
+        for (int r = 0; r < READERS; r++) {
+            final int id = r;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = 0; i < RECORDS_PER_READER; i++) {
+                            console.d("r%d-%d-d", id, i);
+                            console.e("r%d-%d-e", id, i);
+                            progress.incrementAndGet();
+                        }
+                        raised.await();
+                        for (int i = 0; i < RECORDS_PER_READER / 10; i++) {
+                            console.d("r%d-after-%d", id, i);
+                        }
+                    } catch (InterruptedException ignored) {
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+
+        Thread writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (progress.get() < READERS * RECORDS_PER_READER / 2) {
+                    Thread.yield();
+                }
+                console.initFormatter(error);
+                raised.countDown();
+            }
+        });
+        writer.start();
+        start.countDown();
+
+        assertTrue("readers stalled", done.await(60, TimeUnit.SECONDS));
+        writer.join();
+
+        Map<String, Integer> records = checkRecords();
+        int debugRecords = 0;
+        for (Map.Entry<String, Integer> record : records.entrySet()) {
+            if (record.getValue() == Log.DEBUG) {
+                debugRecords++;
+                assertTrue("debug record printed after the level change: " + record.getKey(),
+                        record.getKey().endsWith("-d"));
+            }
+        }
+        assertTrue("no debug record before the level change", debugRecords > 0);
+        for (int r = 0; r < READERS; r++) {
+            for (int i = 0; i < RECORDS_PER_READER; i++) {
+                assertTrue("lost record r" + r + "-" + i + "-e", records.containsKey("r" + r + "-" + i + "-e"));
+            }
+        }
+    }
+
+    private void record(int priority, String tag, String msg) {
+        synchronized (lines) {
+            lines.add(priority + "\t" + tag + "\t" + msg);
+        }
+    }
+
+    private static void updateMax(AtomicLong max, long value) {
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+        }
+    }
+
+    /**
+     * 每条记录必须整体使用同一份配置：tag、优先级一致，方法行数等于 tag 末位的 showMethodCount，
+     * 且 DEBUG 记录不能用过滤 DEBUG 的配置（tag 以 E 开头）输出。返回 body 到优先级的映射
+     */
+    private Map<String, Integer> checkRecords() {
+        Map<String, Integer> records = new HashMap<>();
+        int i = 0;
+        while (i < lines.size()) {
+            String head = lines.get(i);
+            String tag = tagOf(head);
+            int priority = priorityOf(head);
+            assertTrue("record does not start with top border", msgOf(head).charAt(0) == '┌');
+            int methodCount = Integer.parseInt(tag.substring(1));
+            int stackLines = 0;
+            boolean divider = false;
+            String body = null;
+            i++;
+            while (msgOf(lines.get(i)).charAt(0) != '└') {
+                String line = lines.get(i);
+                assertEquals("torn record", tag, tagOf(line));
+                assertEquals("torn record", priority, priorityOf(line));
+                String msg = msgOf(line);
+                if (msg.charAt(0) == '├') {
+                    divider = true;
+                } else if (divider || methodCount == 0) {
+                    body = msg.substring(2);
+                } else {
+                    stackLines++;
+                }
+                i++;
+            }
+            assertEquals("torn record", tag, tagOf(lines.get(i)));
+            assertEquals("torn record " + body, methodCount, stackLines);
+            assertEquals(methodCount > 0, divider);
+            assertFalse("filtered record printed " + body, priority < Log.ERROR && tag.startsWith("E"));
+            assertFalse("duplicated record " + body, records.containsKey(body));
+            records.put(body, priority);
+            i++;
+        }
+        return records;
+    }
+
+    private static int priorityOf(String line) {
+        return Integer.parseInt(line.substring(0, line.indexOf('\t')));
+    }
+
+    private static String tagOf(String line) {
+        int start = line.indexOf('\t') + 1;
+        return line.substring(start, line.indexOf('\t', start));
+    }
+
+    private static String msgOf(String line) {
+        return line.substring(line.indexOf('\t', line.indexOf('\t') + 1) + 1);
+    }
+}
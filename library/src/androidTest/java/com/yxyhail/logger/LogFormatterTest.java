@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 yxyhail
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yxyhail.logger;
+
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class LogFormatterTest {
+
+    /**
+     * 所有字段都设置为非默认值，新增字段未被 newBuilder 复制或未在此设置时测试失败
+     */
+    @Test
+    public void newBuilderCopiesEveryField() throws Exception {
+        LogFormatter defaults = LogFormatter.onBuilder().build();
+        LogFormatter formatter = LogFormatter.onBuilder()
+                .isLogEnable(false)
+                .setGlobalTag("Copy")
+                .logLevel(Log.WARN)
+                .showMethodCount(3)
+                .extraMethodOffset(2)
+                .showThreadName(true)
+                .printer(new LogFormatter.Printer() {
+                    @Override
+                    public void println(int priority, String tag, String msg) {
+                    }
+                })
+                .build();
+        LogFormatter copy = formatter.newBuilder().build();
+
+        for (Field field : LogFormatter.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) continue;
+            field.setAccessible(true);
+            assertFalse(field.getName() + " is not set by this test",
+                    field.get(formatter).equals(field.get(defaults)));
+            assertEquals(field.getName(), field.get(formatter), field.get(copy));
+        }
+    }
+
+    @Test
+    public void logLevelFiltersLowerPriorities() {
+        LogFormatter formatter = LogFormatter.onBuilder().logLevel(Log.WARN).build();
+        assertFalse(formatter.isLoggable(Log.DEBUG));
+        assertFalse(formatter.isLoggable(Log.INFO));
+        assertTrue(formatter.isLoggable(Log.WARN));
+        assertTrue(formatter.isLoggable(Log.ERROR));
+        assertFalse(formatter.newBuilder().isLogEnable(false).build().isLoggable(Log.ERROR));
+    }
+}
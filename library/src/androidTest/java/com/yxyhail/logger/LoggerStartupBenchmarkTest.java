@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019 yxyhail
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yxyhail.logger;
+
+import android.content.Context;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+
+import dalvik.system.PathClassLoader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * 冷启动耗时：每轮都在新的 ClassLoader 中加载 Logger，测量类初始化和首次输出。
+ * eager 一组复现改动前的静态初始化（Logger 初始化时即创建 LogConsoleImpl）作为对照。
+ * 结果输出到 logcat，tag 为 LoggerStartup
+ */
+@RunWith(AndroidJUnit4.class)
+public class LoggerStartupBenchmarkTest {
+
+    private static final String TAG = "LoggerStartup";
+
+    private static final int ROUNDS = 15;
+
+    @Test
+    public void classInit() throws Exception {
+        long[] lazy = new long[ROUNDS];
+        long[] eager = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            ClassLoader loader = newLoader();
+            long begin = System.nanoTime();
+            Class<?> logger = Class.forName(Logger.class.getName(), true, loader);
+            lazy[i] = System.nanoTime() - begin;
+            assertNull("console created during class init", fieldOf(logger, "impl"));
+
+            loader = newLoader();
+            begin = System.nanoTime();
+            Class.forName(Logger.class.getName(), true, loader);
+            newConsole(loader);
+            eager[i] = System.nanoTime() - begin;
+        }
+        report("class init lazy", lazy);
+        report("class init eager (before)", eager);
+    }
+
+    @Test
+    public void firstLogEnabled() throws Exception {
+        long[] lazy = new long[ROUNDS];
+        long[] eager = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            ClassLoader loader = newLoader();
+            long begin = System.nanoTime();
+            Class<?> logger = Class.forName(Logger.class.getName(), true, loader);
+            log(logger);
+            lazy[i] = System.nanoTime() - begin;
+
+            loader = newLoader();
+            begin = System.nanoTime();
+            Class.forName(Logger.class.getName(), true, loader);
+            Object console = newConsole(loader);
+            Class.forName(LogConsole.class.getName(), true, loader)
+                    .getMethod("d", String.class, Object[].class)
+                    .invoke(console, "first log %d", new Object[]{i});
+            eager[i] = System.nanoTime() - begin;
+        }
+        report("first log lazy", lazy);
+        report("first log eager (before)", eager);
+    }
+
+    @Test
+    public void firstLogDisabled() throws Exception {
+        long[] disabled = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            ClassLoader loader = newLoader();
+            long begin = System.nanoTime();
+            Class<?> logger = Class.forName(Logger.class.getName(), true, loader);
+            Object builder = Class.forName(LogFormatter.class.getName(), true, loader)
+                    .getMethod("onBuilder").invoke(null);
+            builder.getClass().getMethod("isLogEnable", boolean.class).invoke(builder, false);
+            Object formatter = builder.getClass().getMethod("build").invoke(builder);
+            logger.getMethod("initFormatter", formatter.getClass()).invoke(null, formatter);
+            log(logger);
+            disabled[i] = System.nanoTime() - begin;
+            assertEquals(NoOpLogConsole.class.getName(), fieldOf(logger, "console").getClass().getName());
+        }
+        report("first log disabled", disabled);
+    }
+
+    private static ClassLoader newLoader() {
+        Context context = InstrumentationRegistry.getContext();
+        return new PathClassLoader(context.getPackageCodePath(), Context.class.getClassLoader());
+    }
+
+    private static void log(Class<?> logger) throws Exception {
+        logger.getMethod("d", String.class, Object[].class).invoke(null, "first log %d", new Object[]{1});
+    }
+
+    private static Object newConsole(ClassLoader loader) throws Exception {
+        Constructor<?> constructor = Class.forName(LogConsoleImpl.class.getName(), true, loader)
+                .getDeclaredConstructor();
+        constructor.setAccessible(true);
+        return constructor.newInstance();
+    }
+
+    private static Object fieldOf(Class<?> logger, String name) throws Exception {
+        Field field = logger.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(null);
+    }
+
+    private static void report(String name, long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        Log.i(TAG, name + ": median " + sorted[sorted.length / 2] / 1000 + "us, min "
+                + sorted[0] / 1000 + "us, max " + sorted[sorted.length - 1] / 1000 + "us");
+    }
+}
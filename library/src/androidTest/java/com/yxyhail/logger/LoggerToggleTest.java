@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019 yxyhail
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yxyhail.logger;
+
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * 运行时开关日志：tag 状态在关闭期间保持同步，之前返回的 console 跟随最新配置
+ */
+@RunWith(AndroidJUnit4.class)
+public class LoggerToggleTest {
+
+    private final List<String> lines = new ArrayList<>();
+
+    private final LogFormatter enabled = LogFormatter.onBuilder()
+            .setGlobalTag("Toggle")
+            .printer(new LogFormatter.Printer() {
+                @Override
+                public void println(int priority, String tag, String msg) {
+                    lines.add(tag + "\t" + msg);
+                }
+            })
+            .build();
+
+    private final LogFormatter disabled = enabled.newBuilder().isLogEnable(false).build();
+
+    @After
+    public void tearDown() {
+        Logger.closeBTag();
+        Logger.initFormatter(LogFormatter.onBuilder().build());
+    }
+
+    @Test
+    public void blockTagClosedWhileDisabled() {
+        Logger.initFormatter(enabled);
+        Logger.openBTag("Blk");
+        Logger.initFormatter(disabled);
+        Logger.closeBTag();
+        Logger.initFormatter(enabled);
+        Logger.d("x");
+        assertEquals("Toggle", tagOf("x"));
+    }
+
+    @Test
+    public void onceTagConsumedWhileDisabled() {
+        Logger.initFormatter(disabled);
+        Logger.tagOnce("Once").d("dropped");
+        Logger.initFormatter(enabled);
+        Logger.d("x");
+        assertNull(tagOf("dropped"));
+        assertEquals("Toggle", tagOf("x"));
+    }
+
+    @Test
+    public void heldConsoleFollowsReEnable() {
+        Logger.initFormatter(disabled);
+        LogConsole held = Logger.openBTag("Held");
+        held.d("hidden");
+        Logger.initFormatter(enabled);
+        held.d("tagged").closeBTag().d("shown");
+        assertNull(tagOf("hidden"));
+        assertEquals("Toggle-Held", tagOf("tagged"));
+        assertEquals("Toggle", tagOf("shown"));
+    }
+
+    @Test
+    public void heldConsoleFollowsDisable() {
+        Logger.initFormatter(enabled);
+        LogConsole held = Logger.openBTag("Held");
+        Logger.initFormatter(disabled);
+        held.d("hidden").closeBTag();
+        Logger.initFormatter(enabled);
+        held.d("shown");
+        assertNull(tagOf("hidden"));
+        assertEquals("Toggle", tagOf("shown"));
+    }
+
+    /**
+     * 返回 body 为 msg 的记录的 tag，未输出时返回 null
+     */
+    private String tagOf(String msg) {
+        for (String line : lines) {
+            if (line.endsWith("\t│ " + msg)) {
+                return line.substring(0, line.indexOf('\t'));
+            }
+        }
+        return null;
+    }
+}
@@ -38,7 +38,10 @@ import javax.xml.transform.stream.StreamSource;
 
 class LogConsoleImpl implements LogConsole {
 
-    private LogFormatter formatter;
+    /**
+     * 不可变的配置快照，每次输出只读取一次，运行时替换不会影响正在输出的日志
+     */
+    private volatile LogFormatter formatter;
     private static final int JSON_INDENT = 2;
     private final ThreadLocal<String> blockTag = new ThreadLocal<>();
     private final ThreadLocal<String> onceTag = new ThreadLocal<>();
@@ -128,22 +131,8 @@ class LogConsoleImpl implements LogConsole {
     }
 
     @Override
-    public synchronized LogConsole log(int priority, String blockTag, String onceTag, String msg, Throwable throwable) {
-        if (throwable != null && msg != null) {
-            msg += " : " + getTraceToString(throwable);
-        }
-        if (throwable != null && msg == null) {
-            msg = getTraceToString(throwable);
-        }
-        if (TextUtils.isEmpty(msg)) msg = "[msg is null]";
-
-        if (formatter == null) {
-            formatter = LogFormatter.onBuilder().build();
-        }
-
-        if (formatter.isLoggable()) {
-            formatter.log(priority, blockTag, onceTag, msg);
-        }
+    public LogConsole log(int priority, String blockTag, String onceTag, String msg, Throwable throwable) {
+        log(getFormatter(), priority, blockTag, onceTag, throwable, msg);
         return this;
     }
 
@@ -152,6 +141,19 @@ class LogConsoleImpl implements LogConsole {
         this.formatter = formatter;
     }
 
+    boolean isLoggable() {
+        return getFormatter().isLoggable();
+    }
+
+    void skipOnceTag() {
+        onceTag.remove();
+    }
+
+    private LogFormatter getFormatter() {
+        LogFormatter formatter = this.formatter;
+        return formatter != null ? formatter : DefaultFormatter.INSTANCE;
+    }
+
     private void json(String json, boolean isJsonE) {
         if (TextUtils.isEmpty(json)) {
             String nullHint = "[json string is null]";
@@ -242,11 +244,27 @@ class LogConsoleImpl implements LogConsole {
         return args == null || args.length == 0 ? msg : String.format(msg, args);
     }
 
-    private synchronized void log(int priority, Throwable throwable, String msg, Object... args) {
+    private void log(int priority, Throwable throwable, String msg, Object... args) {
         String blockTag = getBlockTag();
         String onceTag = getOnceTag();
-        String finalMsg = createMsg(msg, args);
-        log(priority, blockTag, onceTag, finalMsg, throwable);
+        log(getFormatter(), priority, blockTag, onceTag, throwable, msg, args);
+    }
+
+    private void log(LogFormatter formatter, int priority, String blockTag, String onceTag,
+                     Throwable throwable, String msg, Object... args) {
+        if (!formatter.isLoggable(priority)) return;
+        msg = createMsg(msg, args);
+        if (throwable != null && msg != null) {
+            msg += " : " + getTraceToString(throwable);
+        }
+        if (throwable != null && msg == null) {
+            msg = getTraceToString(throwable);
+        }
+        if (TextUtils.isEmpty(msg)) msg = "[msg is null]";
+
+        synchronized (this) {
+            formatter.log(priority, blockTag, onceTag, msg);
+        }
     }
 
     private String getTraceToString(Throwable tr) {
@@ -265,4 +283,8 @@ class LogConsoleImpl implements LogConsole {
         pw.flush();
         return sw.toString();
     }
+
+    private static final class DefaultFormatter {
+        static final LogFormatter INSTANCE = LogFormatter.onBuilder().build();
+    }
 }
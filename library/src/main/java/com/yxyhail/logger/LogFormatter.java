@@ -44,6 +44,13 @@ public class LogFormatter {
 
     private static final int MIN_STACK_OFFSET = 5;
 
+    private static final Printer LOGCAT_PRINTER = new Printer() {
+        @Override
+        public void println(int priority, String tag, String msg) {
+            Log.println(priority, tag, msg);
+        }
+    };
+
     private final String globalTag;
 
     private final boolean isLogEnable;
@@ -54,10 +61,16 @@ public class LogFormatter {
 
     private final boolean showThreadName;
 
+    private final int logLevel;
+
+    private final Printer printer;
+
 
     private LogFormatter(Builder builder) {
         globalTag = builder.globalTag;
         isLogEnable = builder.isLogEnable;
+        logLevel = builder.logLevel;
+        printer = builder.printer;
 
         showThreadName = builder.showThreadName;
 
@@ -69,6 +82,10 @@ public class LogFormatter {
         return isLogEnable;
     }
 
+    boolean isLoggable(int priority) {
+        return isLogEnable && priority >= logLevel;
+    }
+
     void log(int priority, String blockTag, String onceTag, String msg) {
         String tag = formatTag(blockTag, onceTag);
         printTopBorder(priority, tag);
@@ -171,7 +188,8 @@ public class LogFormatter {
     private int getStackOffset(StackTraceElement[] trace) {
         for (int i = MIN_STACK_OFFSET; i < trace.length; i++) {
             String name = trace[i].getClassName();
-            if (!name.equals(LogConsoleImpl.class.getName()) && !name.equals(Logger.class.getName())) {
+            if (!name.equals(LogConsoleImpl.class.getName()) && !name.equals(Logger.class.getName())
+                    && !name.equals(NoOpLogConsole.class.getName())) {
                 return --i;
             }
         }
@@ -180,7 +198,7 @@ public class LogFormatter {
 
     private void println(int priority, String tag, String msg) {
         if (TextUtils.isEmpty(tag)) tag = "Logger";
-        Log.println(priority, tag, msg);
+        printer.println(priority, tag, msg);
     }
 
     private String getSimpleClassName(String name) {
@@ -192,6 +210,28 @@ public class LogFormatter {
         return new Builder();
     }
 
+    /**
+     * 以当前配置为基础创建 Builder，用于运行时修改部分配置后重新 {@link Logger#initFormatter}
+     */
+    public Builder newBuilder() {
+        Builder builder = new Builder();
+        builder.isLogEnable = isLogEnable;
+        builder.globalTag = globalTag;
+        builder.logLevel = logLevel;
+        builder.showMethodCount = showMethodCount;
+        builder.extraMethodOffset = extraMethodOffset;
+        builder.showThreadName = showThreadName;
+        builder.printer = printer;
+        return builder;
+    }
+
+    /**
+     * 每行日志的最终输出，默认写入 logcat。仅供测试替换输出使用
+     */
+    interface Printer {
+        void println(int priority, String tag, String msg);
+    }
+
     public static class Builder {
         boolean isLogEnable = true;
 
@@ -203,6 +243,10 @@ public class LogFormatter {
 
         boolean showThreadName = false;
 
+        int logLevel = Log.VERBOSE;
+
+        Printer printer = LOGCAT_PRINTER;
+
         private Builder() {
         }
 
@@ -215,6 +259,14 @@ public class LogFormatter {
             return this;
         }
 
+        /**
+         * 低于该优先级的日志不输出，取值同 {@link Log#VERBOSE} ~ {@link Log#ASSERT}
+         */
+        public Builder logLevel(int priority) {
+            logLevel = priority;
+            return this;
+        }
+
         public Builder setGlobalTag(String globalTag) {
             this.globalTag = globalTag;
             return this;
@@ -235,5 +287,13 @@ public class LogFormatter {
             return this;
         }
 
+        /**
+         * 仅供测试使用
+         */
+        Builder printer(Printer printer) {
+            this.printer = printer;
+            return this;
+        }
+
     }
 }
@@ -19,74 +19,117 @@ package com.yxyhail.logger;
 
 public final class Logger {
 
-    private static final LogConsole console = new LogConsoleImpl();
+    private static final Object IMPL_LOCK = new Object();
+
+    /**
+     * 当前生效的 console，未调用 {@link #initFormatter} 前为 null
+     */
+    private static volatile LogConsole console;
+
+    /**
+     * 首次输出或 {@link #initFormatter} 时才创建，始终持有最新的 formatter 和 tag 状态
+     */
+    private static volatile LogConsoleImpl impl;
+
+    /**
+     * 与 impl 一起创建，在 impl 发布前写入
+     */
+    private static NoOpLogConsole noOpConsole;
 
     private Logger() {
     }
 
-    public static void initFormatter(LogFormatter formatter) {
-        console.initFormatter(formatter);
+    /**
+     * 关闭日志时切换为 {@link NoOpLogConsole}，之后的调用不再格式化消息
+     */
+    public static synchronized void initFormatter(LogFormatter formatter) {
+        LogConsoleImpl impl = impl();
+        impl.initFormatter(formatter);
+        console = formatter != null && !formatter.isLoggable() ? noOpConsole : impl;
+    }
+
+    private static LogConsole console() {
+        LogConsole console = Logger.console;
+        return console != null ? console : impl();
+    }
+
+    /**
+     * 使用单独的锁创建，首次输出不会等待并发的 {@link #initFormatter}
+     */
+    private static LogConsoleImpl impl() {
+        LogConsoleImpl impl = Logger.impl;
+        if (impl == null) {
+            synchronized (IMPL_LOCK) {
+                impl = Logger.impl;
+                if (impl == null) {
+                    impl = new LogConsoleImpl();
+                    noOpConsole = new NoOpLogConsole(impl);
+                    Logger.impl = impl;
+                }
+            }
+        }
+        return impl;
     }
 
     public static LogConsole tagOnce(String onceTag) {
-        return console.tagOnce(onceTag);
+        return console().tagOnce(onceTag);
     }
 
     public static LogConsole openBTag(String blockTag) {
-        return console.openBTag(blockTag);
+        return console().openBTag(blockTag);
     }
 
     public static LogConsole closeBTag() {
-        return console.closeBTag();
+        return console().closeBTag();
     }
 
     public static LogConsole log(int priority, String tag, String msg, Throwable throwable) {
-        return console.log(priority, "", tag, msg, throwable);
+        return console().log(priority, "", tag, msg, throwable);
     }
 
     public static LogConsole d(String msg, Object... args) {
-        return console.d(msg, args);
+        return console().d(msg, args);
     }
 
 
     public static LogConsole e(String msg, Object... args) {
-        return console.e(null, msg, args);
+        return console().e(null, msg, args);
     }
 
     public static LogConsole e(Throwable throwable, String msg, Object... args) {
-        return console.e(throwable, msg, args);
+        return console().e(throwable, msg, args);
     }
 
     public static LogConsole i(String msg, Object... args) {
-        return console.i(msg, args);
+        return console().i(msg, args);
     }
 
     public static LogConsole v(String msg, Object... args) {
-        return console.v(msg, args);
+        return console().v(msg, args);
     }
 
     public static LogConsole w(String msg, Object... args) {
-        return console.w(msg, args);
+        return console().w(msg, args);
     }
 
     public static LogConsole wtf(String msg, Object... args) {
-        return console.wtf(msg, args);
+        return console().wtf(msg, args);
     }
 
     public static LogConsole jsonE(String json) {
-        return console.jsonE(json);
+        return console().jsonE(json);
     }
 
     public static LogConsole jsonD(String json) {
-        return console.jsonD(json);
+        return console().jsonD(json);
     }
 
     public static LogConsole xmlE(String xml) {
-        return console.xmlE(xml);
+        return console().xmlE(xml);
     }
 
     public static LogConsole xmlD(String xml) {
-        return console.xmlD(xml);
+        return console().xmlD(xml);
     }
 
 }
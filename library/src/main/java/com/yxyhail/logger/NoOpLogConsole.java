@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019 yxyhail
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yxyhail.logger;
+
+/**
+ * 关闭日志时使用的 console，输出方法直接返回，不做格式化也不加锁。
+ * tag 相关方法仍转发给 {@link LogConsoleImpl}，重新开启日志后，之前返回的引用也会恢复输出。
+ * 调用处的可变参数数组和参数字符串仍会创建，如需在 release 包中彻底移除调用，
+ * 需在 app 的混淆配置中自行添加 -assumenosideeffects
+ */
+final class NoOpLogConsole implements LogConsole {
+
+    private final LogConsoleImpl console;
+
+    NoOpLogConsole(LogConsoleImpl console) {
+        this.console = console;
+    }
+
+    @Override
+    public void initFormatter(LogFormatter formatter) {
+        console.initFormatter(formatter);
+    }
+
+    @Override
+    public LogConsole tagOnce(String tag) {
+        console.tagOnce(tag);
+        return this;
+    }
+
+    @Override
+    public LogConsole openBTag(String tag) {
+        console.openBTag(tag);
+        return this;
+    }
+
+    @Override
+    public LogConsole closeBTag() {
+        console.closeBTag();
+        return this;
+    }
+
+    @Override
+    public LogConsole d(String msg, Object... args) {
+        return console.isLoggable() ? console.d(msg, args) : skip();
+    }
+
+    @Override
+    public LogConsole e(String msg, Object... args) {
+        return console.isLoggable() ? console.e(msg, args) : skip();
+    }
+
+    @Override
+    public LogConsole e(Throwable throwable, String msg, Object... args) {
+        return console.isLoggable() ? console.e(throwable, msg, args) : skip();
+    }
+
+    @Override
+    public LogConsole w(String msg, Object... args) {
+        return console.isLoggable() ? console.w(msg, args) : skip();
+    }
+
+    @Override
+    public LogConsole i(String msg, Object... args) {
+        return console.isLoggable() ? console.i(msg, args) : skip();
+    }
+
+    @Override
+    public LogConsole v(String msg, Object... args) {
+        return console.isLoggable() ? console.v(msg, args) : skip();
+    }
+
+    @Override
+    public LogConsole wtf(String msg, Object... args) {
+        return console.isLoggable() ? console.wtf(msg, args) : skip();
+    }
+
+    @Override
+    public LogConsole jsonE(String json) {
+        return console.isLoggable() ? console.jsonE(json) : skip();
+    }
+
+    @Override
+    public LogConsole jsonD(String json) {
+        return console.isLoggable() ? console.jsonD(json) : skip();
+    }
+
+    @Override
+    public LogConsole xmlE(String xml) {
+        return console.isLoggable() ? console.xmlE(xml) : skip();
+    }
+
+    @Override
+    public LogConsole xmlD(String xml) {
+        return console.isLoggable() ? console.xmlD(xml) : skip();
+    }
+
+    @Override
+    public LogConsole log(int priority, String blockTag, String onceTag, String msg, Throwable throwable) {
+        return console.isLoggable() ? console.log(priority, blockTag, onceTag, msg, throwable) : this;
+    }
+
+    /**
+     * 与开启时一致，每次输出都消耗 tagOnce 设置的 tag
+     */
+    private LogConsole skip() {
+        console.skipOnceTag();
+        return this;
+    }
+
+}